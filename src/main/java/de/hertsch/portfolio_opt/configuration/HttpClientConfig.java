@@ -2,17 +2,54 @@ package de.hertsch.portfolio_opt.configuration;
 
 import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
-public class HttpClientConfig {
+public class HttpClientConfig implements DisposableBean {
+
+    // Not exposed as a bean, an Executor bean would replace Boot's applicationTaskExecutor
+    private final ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     @Bean
     public HttpClient httpClient() {
+        // HTTP/2 multiplexes all ticker requests over a single pooled connection per host
         return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(httpExecutor)
                 .connectTimeout(Duration.ofSeconds(10))
                 .build();
     }
+
+    @Bean
+    public HttpFetchScheduler httpFetchScheduler(
+            HttpClient httpClient,
+            @Value("${portfolio.provider.fetch.max-concurrent-requests:16}") int maxConcurrentRequests,
+            @Value("${portfolio.provider.fetch.permits-per-second:20}") double permitsPerSecond,
+            @Value("${portfolio.provider.fetch.burst-capacity:20}") int burstCapacity,
+            @Value("${portfolio.provider.fetch.max-retries:4}") int maxRetries,
+            @Value("${portfolio.provider.fetch.base-backoff:PT0.25S}") Duration baseBackoff,
+            @Value("${portfolio.provider.fetch.max-backoff:PT8S}") Duration maxBackoff,
+            @Value("${portfolio.provider.fetch.request-timeout:PT15S}") Duration requestTimeout) {
+        return new HttpFetchScheduler(
+                httpClient,
+                maxConcurrentRequests,
+                permitsPerSecond,
+                burstCapacity,
+                maxRetries,
+                baseBackoff,
+                maxBackoff,
+                requestTimeout);
+    }
+
+    @Override
+    public void destroy() {
+        httpExecutor.close();
+    }
 }
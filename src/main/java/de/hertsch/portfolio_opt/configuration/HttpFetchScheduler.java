@@ -0,0 +1,281 @@
+package de.hertsch.portfolio_opt.configuration;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Plant ausgehende HTTP-Requests gegen einen Upstream-Provider.
+ * Begrenzt parallele Requests (Semaphore), glättet Bursts über einen Token-Bucket
+ * und wiederholt 429/5xx-Antworten mit Exponential Backoff + Full Jitter.
+ */
+public class HttpFetchScheduler {
+
+    private final HttpClient httpClient;
+    private final Semaphore slots;
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+    private final TokenBucket tokenBucket;
+    private final int maxRetries;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Duration requestTimeout;
+
+    public HttpFetchScheduler(
+            HttpClient httpClient,
+            int maxConcurrentRequests,
+            double permitsPerSecond,
+            int burstCapacity,
+            int maxRetries,
+            Duration baseBackoff,
+            Duration maxBackoff,
+            Duration requestTimeout) {
+        if (maxConcurrentRequests < 1 || permitsPerSecond <= 0 || burstCapacity < 1 || maxRetries < 0) {
+            throw new IllegalArgumentException("Invalid fetch scheduler configuration");
+        }
+        this.httpClient = httpClient;
+        this.slots = new Semaphore(maxConcurrentRequests);
+        this.tokenBucket = new TokenBucket(permitsPerSecond, burstCapacity);
+        this.maxRetries = maxRetries;
+        this.baseBackoff = baseBackoff;
+        this.maxBackoff = maxBackoff;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Request-Builder mit Per-Request-Timeout und gzip Accept-Encoding.
+     */
+    public HttpRequest.Builder newRequest(URI uri) {
+        return HttpRequest.newBuilder()
+                .uri(uri)
+                .timeout(requestTimeout)
+                .header("Accept-Encoding", "gzip");
+    }
+
+    /**
+     * Sendet den Request asynchron. Nach Ausschöpfen der Retries wird die letzte
+     * Antwort zurückgegeben, die Statusprüfung bleibt Sache des Aufrufers.
+     * Wird das zurückgegebene Future abgebrochen, entfallen wartende Sends und Retries.
+     */
+    public <T> CompletableFuture<HttpResponse<T>> submit(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+        CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        attempt(request, handler, 0, result);
+        return result;
+    }
+
+    /**
+     * BodyHandler, der gzip-komprimierte Antworten anhand des Content-Encoding Headers entpackt.
+     */
+    public static HttpResponse.BodyHandler<String> ofDecodedString() {
+        return responseInfo -> {
+            boolean gzip = responseInfo.headers()
+                    .firstValue("Content-Encoding")
+                    .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+                    .orElse(false);
+
+            if (!gzip) {
+                return HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8);
+            }
+            return HttpResponse.BodySubscribers.mapping(
+                    HttpResponse.BodySubscribers.ofByteArray(),
+                    HttpFetchScheduler::gunzip);
+        };
+    }
+
+    private <T> void attempt(
+            HttpRequest request, HttpResponse.BodyHandler<T> handler, int attempt,
+            CompletableFuture<HttpResponse<T>> result) {
+        if (result.isDone()) {
+            return;
+        }
+
+        long waitNanos = tokenBucket.reserve();
+        // Whoever flips this first owns the token: send() spends it, a cancellation before that refunds it
+        AtomicBoolean tokenClaimed = new AtomicBoolean();
+        result.whenComplete((response, error) -> {
+            if (tokenClaimed.compareAndSet(false, true)) {
+                tokenBucket.refund();
+            }
+        });
+
+        CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS).execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            waiting.add(() -> send(request, handler, attempt, result, tokenClaimed));
+            drain();
+        });
+    }
+
+    /*
+     * Called from drain() while holding a slot. The slot is released when the exchange
+     * completes, or right away if the caller cancelled while the request was queued.
+     */
+    private <T> void send(
+            HttpRequest request, HttpResponse.BodyHandler<T> handler, int attempt,
+            CompletableFuture<HttpResponse<T>> result, AtomicBoolean tokenClaimed) {
+        if (!tokenClaimed.compareAndSet(false, true)) {
+            // Cancelled while queued and the token is already refunded. drain() keeps looping,
+            // so hand the permit back without re-entering it
+            slots.release();
+            return;
+        }
+
+        CompletableFuture<HttpResponse<T>> inFlight;
+        try {
+            inFlight = httpClient.sendAsync(request, handler);
+        } catch (RuntimeException e) {
+            inFlight = CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<HttpResponse<T>> exchange = inFlight;
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        exchange.whenComplete((response, error) -> {
+            releaseSlot();
+            onComplete(request, handler, attempt, result, response, error == null ? null : unwrap(error));
+        });
+    }
+
+    private <T> void onComplete(
+            HttpRequest request, HttpResponse.BodyHandler<T> handler, int attempt,
+            CompletableFuture<HttpResponse<T>> result, HttpResponse<T> response, Throwable error) {
+        if (result.isDone()) {
+            return;
+        }
+        if (attempt < maxRetries) {
+            if (error instanceof IOException) {
+                retryAfter(request, handler, attempt, result, backoffNanos(attempt));
+                return;
+            }
+            if (error == null && isRetryable(response.statusCode())) {
+                retryAfter(request, handler, attempt, result,
+                        Math.max(retryAfterNanos(response), backoffNanos(attempt)));
+                return;
+            }
+        }
+        if (error != null) {
+            result.completeExceptionally(error);
+        } else {
+            result.complete(response);
+        }
+    }
+
+    private <T> void retryAfter(
+            HttpRequest request, HttpResponse.BodyHandler<T> handler, int attempt,
+            CompletableFuture<HttpResponse<T>> result, long delayNanos) {
+        if (result.isDone()) {
+            return;
+        }
+        CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS)
+                .execute(() -> attempt(request, handler, attempt + 1, result));
+    }
+
+    private void releaseSlot() {
+        slots.release();
+        drain();
+    }
+
+    private void drain() {
+        while (!waiting.isEmpty() && slots.tryAcquire()) {
+            Runnable next = waiting.poll();
+            if (next == null) {
+                // Queue was emptied concurrently, re-check before giving up the slot
+                slots.release();
+                continue;
+            }
+            next.run();
+        }
+    }
+
+    private long backoffNanos(int attempt) {
+        long cap = Math.min(maxBackoff.toNanos(), baseBackoff.toNanos() << Math.min(attempt, 20));
+        return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    private long retryAfterNanos(HttpResponse<?> response) {
+        return response.headers()
+                .firstValue("Retry-After")
+                .map(value -> {
+                    try {
+                        return Math.min(maxBackoff.toNanos(), TimeUnit.SECONDS.toNanos(Long.parseLong(value.trim())));
+                    } catch (NumberFormatException e) {
+                        return 0L;
+                    }
+                })
+                .orElse(0L);
+    }
+
+    private static boolean isRetryable(int statusCode) {
+        return statusCode == 429 || statusCode >= 500;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+    }
+
+    private static String gunzip(byte[] compressed) {
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode gzip response", e);
+        }
+    }
+
+    /*
+     * Token-Bucket mit Reservierung: Ein negativer Bestand entspricht bereits
+     * vergebenen, zukünftigen Tokens. reserve() liefert die Wartezeit bis zum eigenen Token,
+     * refund() gibt das Token eines nie gesendeten Requests zurück.
+     */
+    static class TokenBucket {
+        private final double permitsPerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(double permitsPerSecond, int capacity) {
+            this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        synchronized long reserve() {
+            refill();
+
+            tokens -= 1.0;
+            if (tokens >= 0) {
+                return 0L;
+            }
+            return (long) Math.ceil(-tokens / permitsPerNano);
+        }
+
+        synchronized void refund() {
+            refill();
+            tokens = Math.min(capacity, tokens + 1.0);
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * permitsPerNano);
+            lastRefill = now;
+        }
+    }
+}
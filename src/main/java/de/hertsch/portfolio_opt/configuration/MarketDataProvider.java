@@ -1,7 +1,11 @@
 package de.hertsch.portfolio_opt.configuration;
 
+import java.util.concurrent.CompletableFuture;
+
 import de.hertsch.portfolio_opt.model.PriceSeries;
 
 public interface MarketDataProvider {
     public PriceSeries fetchHistory(String ticker);
+
+    public CompletableFuture<PriceSeries> fetchHistoryAsync(String ticker);
 }
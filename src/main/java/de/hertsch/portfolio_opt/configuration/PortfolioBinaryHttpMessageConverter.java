@@ -0,0 +1,49 @@
+package de.hertsch.portfolio_opt.configuration;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import de.hertsch.portfolio_opt.model.OptimizationRequest;
+import de.hertsch.portfolio_opt.model.PortfolioBinaryResponse;
+
+public class PortfolioBinaryHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(PortfolioWireFormat.MEDIA_TYPE);
+
+    public PortfolioBinaryHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return OptimizationRequest.class == clazz || PortfolioBinaryResponse.class == clazz;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        byte[] payload = inputMessage.getBody().readAllBytes();
+        try {
+            return clazz == OptimizationRequest.class
+                    ? PortfolioWireFormat.decodeRequest(payload)
+                    : PortfolioWireFormat.decodeResponse(payload);
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        byte[] payload = switch (body) {
+            case OptimizationRequest request -> PortfolioWireFormat.encodeRequest(request);
+            case PortfolioBinaryResponse response -> PortfolioWireFormat.encodeResponse(response);
+            default -> throw new IllegalArgumentException("Unsupported type: " + body.getClass());
+        };
+        outputMessage.getHeaders().setContentLength(payload.length);
+        outputMessage.getBody().write(payload);
+    }
+}
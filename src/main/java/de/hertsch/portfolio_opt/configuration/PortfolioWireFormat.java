@@ -0,0 +1,146 @@
+package de.hertsch.portfolio_opt.configuration;
+
+import static de.hertsch.portfolio_opt.configuration.WireFormatSupport.ensureRemainingBytes;
+import static de.hertsch.portfolio_opt.configuration.WireFormatSupport.expectMagic;
+import static de.hertsch.portfolio_opt.configuration.WireFormatSupport.nonNegative;
+import static de.hertsch.portfolio_opt.configuration.WireFormatSupport.readDoubles;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.hertsch.portfolio_opt.model.EfficientFrontier;
+import de.hertsch.portfolio_opt.model.OptimizationRequest;
+import de.hertsch.portfolio_opt.model.PortfolioBinaryResponse;
+
+/**
+ * Kompaktes Binärformat für die öffentliche Optimize-API (Alternative zu JSON).
+ * Big-Endian, Längenpräfix vor Strings (UTF-8) und Arrays. Gewichte werden als
+ * ungerundete double übertragen, die Rechenzeit in Nanosekunden als long.
+ */
+public final class PortfolioWireFormat {
+
+    public static final String MEDIA_TYPE = "application/x-portfolio-binary";
+
+    private static final int REQUEST_MAGIC = 0x50525131; // "PRQ1"
+    private static final int RESPONSE_MAGIC = 0x50525331; // "PRS1"
+
+    private PortfolioWireFormat() {
+    }
+
+    public static byte[] encodeRequest(OptimizationRequest request) {
+        byte[][] tickers = utf8(request.tickers());
+
+        ByteBuffer buffer = ByteBuffer.allocate(4 + stringsSize(tickers));
+        buffer.putInt(REQUEST_MAGIC);
+        putStrings(buffer, tickers);
+        return buffer.array();
+    }
+
+    public static OptimizationRequest decodeRequest(byte[] payload) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(payload);
+            expectMagic(buffer, REQUEST_MAGIC);
+            return new OptimizationRequest(readStrings(buffer));
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated request payload", e);
+        }
+    }
+
+    public static byte[] encodeResponse(PortfolioBinaryResponse response) {
+        byte[][] tickers = utf8(response.tickers());
+        int n = response.weights().length;
+        int bins = response.frontier().volatility().length;
+
+        ByteBuffer buffer = ByteBuffer.allocate(
+                4 + stringsSize(tickers) + 4 + Double.BYTES * (n + 3) + Long.BYTES + 4 + Double.BYTES * 2 * bins);
+        buffer.putInt(RESPONSE_MAGIC);
+        putStrings(buffer, tickers);
+
+        buffer.putInt(n);
+        for (double weight : response.weights()) {
+            buffer.putDouble(weight);
+        }
+        buffer.putDouble(response.sharpeRatio())
+                .putDouble(response.expectedReturn())
+                .putDouble(response.volatility())
+                .putLong(response.calculationTimeNanos())
+                .putInt(bins);
+        for (int i = 0; i < bins; i++) {
+            buffer.putDouble(response.frontier().volatility()[i])
+                    .putDouble(response.frontier().expectedReturn()[i]);
+        }
+        return buffer.array();
+    }
+
+    public static PortfolioBinaryResponse decodeResponse(byte[] payload) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(payload);
+            expectMagic(buffer, RESPONSE_MAGIC);
+
+            List<String> tickers = readStrings(buffer);
+            double[] weights = readDoubles(buffer, nonNegative(buffer.getInt()));
+            if (weights.length != tickers.size()) {
+                throw new IllegalArgumentException("Weight count does not match ticker count");
+            }
+            double sharpe = buffer.getDouble();
+            double expectedReturn = buffer.getDouble();
+            double volatility = buffer.getDouble();
+            long nanos = buffer.getLong();
+
+            int bins = nonNegative(buffer.getInt());
+            ensureRemainingBytes(buffer, 2L * bins * Double.BYTES);
+            double[] binVolatility = new double[bins];
+            double[] binReturn = new double[bins];
+            for (int i = 0; i < bins; i++) {
+                binVolatility[i] = buffer.getDouble();
+                binReturn[i] = buffer.getDouble();
+            }
+
+            return new PortfolioBinaryResponse(tickers, weights, sharpe, expectedReturn, volatility, nanos,
+                    new EfficientFrontier(binVolatility, binReturn));
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated response payload", e);
+        }
+    }
+
+    private static byte[][] utf8(List<String> values) {
+        byte[][] encoded = new byte[values.size()][];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = values.get(i).getBytes(StandardCharsets.UTF_8);
+        }
+        return encoded;
+    }
+
+    private static int stringsSize(byte[][] values) {
+        int size = 4;
+        for (byte[] value : values) {
+            size += 4 + value.length;
+        }
+        return size;
+    }
+
+    private static void putStrings(ByteBuffer buffer, byte[][] values) {
+        buffer.putInt(values.length);
+        for (byte[] value : values) {
+            buffer.putInt(value.length).put(value);
+        }
+    }
+
+    private static List<String> readStrings(ByteBuffer buffer) {
+        int count = nonNegative(buffer.getInt());
+        ensureRemainingBytes(buffer, 4L * count);
+
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = nonNegative(buffer.getInt());
+            ensureRemainingBytes(buffer, length);
+            values.add(new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                    StandardCharsets.UTF_8));
+            buffer.position(buffer.position() + length);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,143 @@
+package de.hertsch.portfolio_opt.configuration;
+
+import static de.hertsch.portfolio_opt.configuration.WireFormatSupport.ensureRemainingBytes;
+import static de.hertsch.portfolio_opt.configuration.WireFormatSupport.expectMagic;
+import static de.hertsch.portfolio_opt.configuration.WireFormatSupport.nonNegative;
+import static de.hertsch.portfolio_opt.configuration.WireFormatSupport.readDoubles;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import de.hertsch.portfolio_opt.model.EfficientFrontier;
+import de.hertsch.portfolio_opt.model.PortfolioMetrics;
+import de.hertsch.portfolio_opt.model.ShardDescriptor;
+import de.hertsch.portfolio_opt.model.ShardResult;
+import de.hertsch.portfolio_opt.model.SimulationProblem;
+
+/**
+ * Kompaktes Binärformat für den Austausch zwischen Coordinator und Worker.
+ * Big-Endian, Längenpräfix vor jedem Array. Das Problem (Renditen + Kovarianz) wird
+ * einmal pro Worker übertragen, danach nur noch kleine Shard-Deskriptoren (Seed, Anzahl).
+ * Die Kovarianzmatrix ist symmetrisch, daher nur das obere Dreieck ($n(n+1)/2$ statt $n^2$ Werte).
+ */
+public final class SimulationWireFormat {
+
+    public static final String MEDIA_TYPE = "application/x-portfolio-shard";
+
+    private static final int PROBLEM_MAGIC = 0x50505231; // "PPR1"
+    private static final int SHARD_MAGIC = 0x50534832; // "PSH2"
+    private static final int RESULT_MAGIC = 0x50535231; // "PSR1"
+
+    private SimulationWireFormat() {
+    }
+
+    public static byte[] encodeProblem(SimulationProblem problem) {
+        int n = problem.expectedReturns().length;
+        int triangle = n * (n + 1) / 2;
+
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 4 + Double.BYTES * (n + triangle));
+        buffer.putInt(PROBLEM_MAGIC).putInt(n);
+
+        for (double mean : problem.expectedReturns()) {
+            buffer.putDouble(mean);
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = i; j < n; j++) {
+                buffer.putDouble(problem.covMatrix()[i][j]);
+            }
+        }
+        return buffer.array();
+    }
+
+    public static SimulationProblem decodeProblem(byte[] payload) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(payload);
+            expectMagic(buffer, PROBLEM_MAGIC);
+
+            int n = nonNegative(buffer.getInt());
+            double[] means = readDoubles(buffer, n);
+            ensureRemainingBytes(buffer, (long) n * (n + 1) / 2 * Double.BYTES);
+            double[][] cov = new double[n][n];
+            for (int i = 0; i < n; i++) {
+                for (int j = i; j < n; j++) {
+                    double value = buffer.getDouble();
+                    cov[i][j] = value;
+                    cov[j][i] = value;
+                }
+            }
+            return new SimulationProblem(means, cov);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated problem payload", e);
+        }
+    }
+
+    public static byte[] encodeShard(ShardDescriptor shard) {
+        return ByteBuffer.allocate(4 + 8 + 4 + 4)
+                .putInt(SHARD_MAGIC)
+                .putLong(shard.seed())
+                .putInt(shard.simulations())
+                .putInt(shard.frontierBins())
+                .array();
+    }
+
+    public static ShardDescriptor decodeShard(byte[] payload) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(payload);
+            expectMagic(buffer, SHARD_MAGIC);
+
+            long seed = buffer.getLong();
+            int simulations = nonNegative(buffer.getInt());
+            int bins = nonNegative(buffer.getInt());
+            return new ShardDescriptor(seed, simulations, bins);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated shard payload", e);
+        }
+    }
+
+    public static byte[] encodeResult(ShardResult result) {
+        PortfolioMetrics best = result.best();
+        EfficientFrontier frontier = result.frontier();
+        int n = best.weights().length;
+        int bins = frontier.volatility().length;
+
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 4 + 4 + Double.BYTES * (n + 3 + 2 * bins));
+        buffer.putInt(RESULT_MAGIC).putInt(n);
+        for (double weight : best.weights()) {
+            buffer.putDouble(weight);
+        }
+        buffer.putDouble(best.sharpeRatio())
+                .putDouble(best.expectedReturn())
+                .putDouble(best.volatility())
+                .putInt(bins);
+        for (int i = 0; i < bins; i++) {
+            buffer.putDouble(frontier.volatility()[i]).putDouble(frontier.expectedReturn()[i]);
+        }
+        return buffer.array();
+    }
+
+    public static ShardResult decodeResult(byte[] payload) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(payload);
+            expectMagic(buffer, RESULT_MAGIC);
+
+            double[] weights = readDoubles(buffer, nonNegative(buffer.getInt()));
+            double sharpe = buffer.getDouble();
+            double expectedReturn = buffer.getDouble();
+            double volatility = buffer.getDouble();
+
+            int bins = nonNegative(buffer.getInt());
+            ensureRemainingBytes(buffer, 2L * bins * Double.BYTES);
+            double[] binVolatility = new double[bins];
+            double[] binReturn = new double[bins];
+            for (int i = 0; i < bins; i++) {
+                binVolatility[i] = buffer.getDouble();
+                binReturn[i] = buffer.getDouble();
+            }
+            return new ShardResult(
+                    new PortfolioMetrics(weights, sharpe, expectedReturn, volatility),
+                    new EfficientFrontier(binVolatility, binReturn));
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated shard result payload", e);
+        }
+    }
+}
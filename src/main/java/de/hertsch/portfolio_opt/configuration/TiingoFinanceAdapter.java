@@ -1,13 +1,15 @@
 package de.hertsch.portfolio_opt.configuration;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.LocalDate;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -19,19 +21,19 @@ import tools.jackson.databind.ObjectMapper;
 @Component
 public class TiingoFinanceAdapter implements MarketDataProvider {
 
-    private final HttpClient httpClient;
+    private final HttpFetchScheduler fetchScheduler;
     private final ObjectMapper objectMapper;
     private String API_KEY;
     private String BASE_URL;
     private LocalDate START_DATE;
 
     public TiingoFinanceAdapter(
-            HttpClient httpClient,
+            HttpFetchScheduler fetchScheduler,
             ObjectMapper objectMapper,
             @Value("${portfolio.provider.tiingo.key}") String API_KEY,
             @Value("${portfolio.provider.tiingo.base-url}") String BASE_URL,
             @Value("${portfolio.provider.tiingo.history-start}") LocalDate START_DATE) {
-        this.httpClient = httpClient;
+        this.fetchScheduler = fetchScheduler;
         this.objectMapper = objectMapper;
         this.API_KEY = API_KEY;
         this.BASE_URL = BASE_URL;
@@ -40,28 +42,57 @@ public class TiingoFinanceAdapter implements MarketDataProvider {
 
     @Override
     public PriceSeries fetchHistory(String ticker) {
+        try {
+            return fetchHistoryAsync(ticker).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Fetch failed for " + ticker, e.getCause());
+        }
+    }
+
+    @Override
+    public CompletableFuture<PriceSeries> fetchHistoryAsync(String ticker) {
 
         String url = String.format(
                 "%s/%s/prices?startDate=%s&resampleFreq=daily&token=%s",
                 BASE_URL, ticker, START_DATE, API_KEY);
 
-        try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .header("Content-Type", "application/json")
-                    .GET()
-                    .build();
+        HttpRequest request = fetchScheduler.newRequest(URI.create(url))
+                .header("Content-Type", "application/json")
+                .GET()
+                .build();
 
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        CompletableFuture<HttpResponse<String>> response = fetchScheduler.submit(request,
+                HttpFetchScheduler.ofDecodedString());
 
-            if (response.statusCode() != 200) {
-                throw new RuntimeException("Tiingo Error " + response.statusCode() + ": " + response.body());
+        CompletableFuture<PriceSeries> series = response.handle((httpResponse, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                throw new RuntimeException("Fetch failed for " + ticker, cause);
             }
+            return toPriceSeries(ticker, httpResponse);
+        });
 
+        // Cancelling the returned future must reach the scheduler, dependents do not propagate it
+        series.whenComplete((value, error) -> {
+            if (series.isCancelled()) {
+                response.cancel(true);
+            }
+        });
+        return series;
+    }
+
+    private PriceSeries toPriceSeries(String ticker, HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            throw new RuntimeException("Tiingo Error " + response.statusCode() + ": " + response.body());
+        }
+
+        try {
             return parseResponse(ticker, response.body());
-        } catch (IOException | InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Fetch failed for " + ticker, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Parsing failed for " + ticker, e);
         }
     }
 
@@ -0,0 +1,13 @@
+package de.hertsch.portfolio_opt.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class WebConfig {
+
+    @Bean
+    public PortfolioBinaryHttpMessageConverter portfolioBinaryHttpMessageConverter() {
+        return new PortfolioBinaryHttpMessageConverter();
+    }
+}
@@ -0,0 +1,40 @@
+package de.hertsch.portfolio_opt.configuration;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Gemeinsame Prüfungen beim Dekodieren der Binärformate.
+ * Alle Längenangaben sind in Bytes.
+ */
+final class WireFormatSupport {
+
+    private WireFormatSupport() {
+    }
+
+    static void expectMagic(ByteBuffer buffer, int magic) {
+        if (buffer.getInt() != magic) {
+            throw new IllegalArgumentException("Unknown payload format");
+        }
+    }
+
+    static int nonNegative(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative length in payload: " + value);
+        }
+        return value;
+    }
+
+    static void ensureRemainingBytes(ByteBuffer buffer, long bytes) {
+        if (bytes > buffer.remaining()) {
+            throw new IllegalArgumentException("Truncated payload");
+        }
+    }
+
+    static double[] readDoubles(ByteBuffer buffer, int count) {
+        ensureRemainingBytes(buffer, (long) count * Double.BYTES);
+        double[] values = new double[count];
+        buffer.asDoubleBuffer().get(values);
+        buffer.position(buffer.position() + count * Double.BYTES);
+        return values;
+    }
+}
@@ -1,16 +1,22 @@
 package de.hertsch.portfolio_opt.controller;
 
-import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.Comparator;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import de.hertsch.portfolio_opt.configuration.PortfolioBinaryHttpMessageConverter;
+import de.hertsch.portfolio_opt.configuration.PortfolioWireFormat;
 import de.hertsch.portfolio_opt.model.OptimizationRequest;
 import de.hertsch.portfolio_opt.model.OptimizationResult;
+import de.hertsch.portfolio_opt.model.PortfolioBinaryResponse;
 import de.hertsch.portfolio_opt.model.PortfolioResponse;
 import de.hertsch.portfolio_opt.service.PortfolioService;
 
@@ -24,26 +30,38 @@ public class PortfolioController {
         this.portfolioService = portfolioService;
     }
 
-    @PostMapping("/optimize")
-    public PortfolioResponse optimizePortfolio(@RequestBody OptimizationRequest request) {
-        long start = System.currentTimeMillis();
+    @PostMapping(
+            path = "/optimize",
+            produces = { MediaType.APPLICATION_JSON_VALUE, PortfolioWireFormat.MEDIA_TYPE })
+    public ResponseEntity<?> optimizePortfolio(
+            @RequestBody OptimizationRequest request,
+            @RequestParam(defaultValue = "false") boolean frontier,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        long start = System.nanoTime();
 
         OptimizationResult result = portfolioService.performOptimization(request.tickers());
 
-        long duration = System.currentTimeMillis() - start;
+        long duration = System.nanoTime() - start;
 
-        Map<String, Double> weightMap = IntStream.range(0, request.tickers().size())
-                .boxed()
-                .collect(Collectors.toMap(
-                        i -> request.tickers().get(i),
-                        i -> Math.round(result.weights()[i] * 10000.0) / 100.0));
-
-        return new PortfolioResponse(
-                weightMap,
-                result.sharpeRatio(),
-                result.returnPa(),
-                result.volatility(),
-                duration + "ms");
+        if (prefersBinary(accept)) {
+            return ResponseEntity.ok()
+                    .contentType(PortfolioBinaryHttpMessageConverter.MEDIA_TYPE)
+                    .body(PortfolioBinaryResponse.of(request.tickers(), result, duration));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(PortfolioResponse.of(request.tickers(), result, duration, frontier));
     }
 
+    // Binary only when asked for explicitly, so */* and a missing Accept header keep getting JSON
+    private static boolean prefersBinary(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        return MediaType.parseMediaTypes(accept).stream()
+                .filter(MediaType::isConcrete)
+                .max(Comparator.comparingDouble(MediaType::getQualityValue))
+                .map(PortfolioBinaryHttpMessageConverter.MEDIA_TYPE::equalsTypeAndSubtype)
+                .orElse(false);
+    }
 }
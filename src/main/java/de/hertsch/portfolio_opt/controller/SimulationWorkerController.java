@@ -0,0 +1,95 @@
+package de.hertsch.portfolio_opt.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import de.hertsch.portfolio_opt.configuration.SimulationWireFormat;
+import de.hertsch.portfolio_opt.model.ShardDescriptor;
+import de.hertsch.portfolio_opt.model.SimulationProblem;
+import de.hertsch.portfolio_opt.service.MonteCarloSimulator;
+import de.hertsch.portfolio_opt.service.SimulationCoordinator;
+import de.hertsch.portfolio_opt.service.SimulationJobStore;
+
+/*
+ * Only registered on instances started as worker. Payloads come from the network,
+ * so sizes are checked against configured limits before any work is scheduled.
+ */
+@RestController
+@RequestMapping(SimulationCoordinator.JOBS_PATH)
+@ConditionalOnProperty(name = "portfolio.simulation.worker-enabled", havingValue = "true")
+public class SimulationWorkerController {
+
+    private final MonteCarloSimulator simulator;
+    private final SimulationJobStore jobStore;
+    private final int maxAssets;
+    private final int maxSimulations;
+    private final int maxFrontierBins;
+
+    public SimulationWorkerController(
+            MonteCarloSimulator simulator,
+            SimulationJobStore jobStore,
+            @Value("${portfolio.simulation.worker.max-assets:1000}") int maxAssets,
+            @Value("${portfolio.simulation.worker.max-simulations:1000000}") int maxSimulations,
+            @Value("${portfolio.simulation.worker.max-frontier-bins:1000}") int maxFrontierBins) {
+        this.simulator = simulator;
+        this.jobStore = jobStore;
+        this.maxAssets = maxAssets;
+        this.maxSimulations = maxSimulations;
+        this.maxFrontierBins = maxFrontierBins;
+    }
+
+    @PutMapping(path = "/{jobId}", consumes = SimulationWireFormat.MEDIA_TYPE)
+    public ResponseEntity<Void> uploadProblem(@PathVariable String jobId, @RequestBody byte[] payload) {
+        // Reject oversized bodies before decoding allocates the covariance matrix
+        long maxBytes = 8L + Double.BYTES * (maxAssets + (long) maxAssets * (maxAssets + 1) / 2);
+        requireWithin(payload.length, maxBytes, "payload bytes");
+
+        SimulationProblem problem = SimulationWireFormat.decodeProblem(payload);
+        requireWithin(problem.expectedReturns().length, maxAssets, "assets");
+
+        jobStore.put(jobId, problem);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping(
+            path = "/{jobId}/shards",
+            consumes = SimulationWireFormat.MEDIA_TYPE,
+            produces = SimulationWireFormat.MEDIA_TYPE)
+    public ResponseEntity<byte[]> simulateShard(@PathVariable String jobId, @RequestBody byte[] payload) {
+        ShardDescriptor shard = SimulationWireFormat.decodeShard(payload);
+        requireWithin(shard.simulations(), maxSimulations, "simulations");
+        requireWithin(shard.frontierBins(), maxFrontierBins, "frontier bins");
+
+        // 404 tells the coordinator to upload the problem again (e.g. after a worker restart)
+        return jobStore.get(jobId)
+                .map(problem -> simulator.simulate(shard.bind(problem)))
+                .map(result -> ResponseEntity.ok(SimulationWireFormat.encodeResult(result)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<Void> deleteJob(@PathVariable String jobId) {
+        jobStore.remove(jobId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Void> rejectPayload(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().build();
+    }
+
+    private static void requireWithin(long value, long max, String name) {
+        if (value > max) {
+            throw new IllegalArgumentException("Too many " + name + ": " + value + " > " + max);
+        }
+    }
+}
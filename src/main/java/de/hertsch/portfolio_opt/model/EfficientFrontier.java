@@ -0,0 +1,37 @@
+package de.hertsch.portfolio_opt.model;
+
+import java.util.stream.IntStream;
+
+/*
+ * Binned approximation of the efficient frontier.
+ * Bin i holds the highest expected return found in the i-th volatility bucket, NaN if empty.
+ */
+public record EfficientFrontier(
+        double[] volatility,
+        double[] expectedReturn) {
+
+    public EfficientFrontier merge(EfficientFrontier other) {
+        int bins = volatility.length;
+        double[] mergedVolatility = volatility.clone();
+        double[] mergedReturn = expectedReturn.clone();
+
+        for (int i = 0; i < bins; i++) {
+            double candidate = other.expectedReturn[i];
+            if (!Double.isNaN(candidate) && (Double.isNaN(mergedReturn[i]) || candidate > mergedReturn[i])) {
+                mergedReturn[i] = candidate;
+                mergedVolatility[i] = other.volatility[i];
+            }
+        }
+        return new EfficientFrontier(mergedVolatility, mergedReturn);
+    }
+
+    // Empty bins (NaN) are dropped, they are not representable in JSON
+    public EfficientFrontier filledBins() {
+        int[] filled = IntStream.range(0, expectedReturn.length)
+                .filter(i -> !Double.isNaN(expectedReturn[i]))
+                .toArray();
+        return new EfficientFrontier(
+                IntStream.of(filled).mapToDouble(i -> volatility[i]).toArray(),
+                IntStream.of(filled).mapToDouble(i -> expectedReturn[i]).toArray());
+    }
+}
@@ -4,6 +4,7 @@ public record OptimizationResult(
         double[] weights,
         double sharpeRatio,
         double returnPa,
-        double volatility) {
+        double volatility,
+        EfficientFrontier frontier) {
 
 }
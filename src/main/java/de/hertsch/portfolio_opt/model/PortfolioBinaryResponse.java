@@ -0,0 +1,31 @@
+package de.hertsch.portfolio_opt.model;
+
+import java.util.List;
+
+/*
+ * Binary view of an optimization: unrounded weights in ticker order,
+ * calculation time in nanoseconds and the filled frontier bins.
+ */
+public record PortfolioBinaryResponse(
+        List<String> tickers,
+        double[] weights,
+        double sharpeRatio,
+        double expectedReturn,
+        double volatility,
+        long calculationTimeNanos,
+        EfficientFrontier frontier) {
+
+    public static PortfolioBinaryResponse of(
+            List<String> tickers,
+            OptimizationResult result,
+            long calculationTimeNanos) {
+        return new PortfolioBinaryResponse(
+                tickers,
+                result.weights(),
+                result.sharpeRatio(),
+                result.returnPa(),
+                result.volatility(),
+                calculationTimeNanos,
+                result.frontier().filledBins());
+    }
+}
@@ -1,11 +1,43 @@
 package de.hertsch.portfolio_opt.model;
 
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/*
+ * JSON view of an optimization. The frontier is opt-in and omitted when null,
+ * full-precision values are only available in the binary format (PortfolioBinaryResponse).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record PortfolioResponse(
         Map<String, Double> optimalWeights,
         double sharpeRatio,
         double expectedReturn,
         double volatility,
-        String calculationTime) {
+        String calculationTime,
+        EfficientFrontier frontier) {
+
+    public static PortfolioResponse of(
+            List<String> tickers,
+            OptimizationResult result,
+            long calculationTimeNanos,
+            boolean includeFrontier) {
+
+        Map<String, Double> weightMap = IntStream.range(0, tickers.size())
+                .boxed()
+                .collect(Collectors.toMap(
+                        i -> tickers.get(i),
+                        i -> Math.round(result.weights()[i] * 10000.0) / 100.0));
+
+        return new PortfolioResponse(
+                weightMap,
+                result.sharpeRatio(),
+                result.returnPa(),
+                result.volatility(),
+                calculationTimeNanos / 1_000_000 + "ms",
+                includeFrontier ? result.frontier().filledBins() : null);
+    }
 }
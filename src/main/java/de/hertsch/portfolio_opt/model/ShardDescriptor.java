@@ -0,0 +1,11 @@
+package de.hertsch.portfolio_opt.model;
+
+public record ShardDescriptor(
+        long seed,
+        int simulations,
+        int frontierBins) {
+
+    public SimulationShard bind(SimulationProblem problem) {
+        return new SimulationShard(problem.expectedReturns(), problem.covMatrix(), seed, simulations, frontierBins);
+    }
+}
@@ -0,0 +1,11 @@
+package de.hertsch.portfolio_opt.model;
+
+public record ShardResult(
+        PortfolioMetrics best,
+        EfficientFrontier frontier) {
+
+    public ShardResult merge(ShardResult other) {
+        PortfolioMetrics winner = other.best().sharpeRatio() > best.sharpeRatio() ? other.best() : best;
+        return new ShardResult(winner, frontier.merge(other.frontier()));
+    }
+}
@@ -0,0 +1,7 @@
+package de.hertsch.portfolio_opt.model;
+
+public record SimulationProblem(
+        double[] expectedReturns,
+        double[][] covMatrix) {
+
+}
@@ -0,0 +1,10 @@
+package de.hertsch.portfolio_opt.model;
+
+public record SimulationShard(
+        double[] expectedReturns,
+        double[][] covMatrix,
+        long seed,
+        int simulations,
+        int frontierBins) {
+
+}
@@ -0,0 +1,128 @@
+package de.hertsch.portfolio_opt.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.stereotype.Component;
+
+import de.hertsch.portfolio_opt.model.EfficientFrontier;
+import de.hertsch.portfolio_opt.model.PortfolioMetrics;
+import de.hertsch.portfolio_opt.model.ShardResult;
+import de.hertsch.portfolio_opt.model.SimulationShard;
+
+@Component
+public class MonteCarloSimulator {
+
+    private static final double RISK_FREE_RATE = 0.03;
+
+    /*
+     * Runs one seeded shard. The same shard always yields the same result,
+     * regardless of which node executes it.
+     */
+    public ShardResult simulate(SimulationShard shard) {
+        int assetCount = shard.expectedReturns().length;
+        double[] means = shard.expectedReturns();
+        double[][] cov = shard.covMatrix();
+        int bins = shard.frontierBins();
+
+        // Long-only portfolio volatility never exceeds the most volatile single asset
+        double maxVolatility = 0.0;
+        for (int i = 0; i < assetCount; i++) {
+            maxVolatility = Math.max(maxVolatility, Math.sqrt(cov[i][i]));
+        }
+
+        PortfolioMetrics best = new PortfolioMetrics(new double[0], -Double.MAX_VALUE, 0, 0);
+        double[] binVolatility = new double[bins];
+        double[] binReturn = new double[bins];
+        Arrays.fill(binVolatility, Double.NaN);
+        Arrays.fill(binReturn, Double.NaN);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            SplittableRandom root = new SplittableRandom(shard.seed());
+            List<Callable<PortfolioMetrics>> tasks = new ArrayList<>(shard.simulations());
+            for (int i = 0; i < shard.simulations(); i++) {
+                tasks.add(new SimulationTask(assetCount, means, cov, root.split()));
+            }
+
+            List<Future<PortfolioMetrics>> futures = executor.invokeAll(tasks);
+            for (var future : futures) {
+                PortfolioMetrics metrics = future.get();
+
+                if (metrics.sharpeRatio() > best.sharpeRatio()) {
+                    best = metrics;
+                }
+
+                if (bins > 0 && maxVolatility > 0) {
+                    int bin = Math.min(bins - 1, (int) (metrics.volatility() / maxVolatility * bins));
+                    if (Double.isNaN(binReturn[bin]) || metrics.expectedReturn() > binReturn[bin]) {
+                        binReturn[bin] = metrics.expectedReturn();
+                        binVolatility[bin] = metrics.volatility();
+                    }
+                }
+            }
+
+        } catch (InterruptedException | ExecutionException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Optimization simulation failed", e);
+        }
+
+        return new ShardResult(best, new EfficientFrontier(binVolatility, binReturn));
+    }
+
+    /*
+     * Single simulation-task.
+     */
+    private static class SimulationTask implements Callable<PortfolioMetrics> {
+        // TODO: Implement 20% Rule
+        private final int n;
+        private final double[] means;
+        private final double[][] cov;
+        private final SplittableRandom random;
+
+        public SimulationTask(int n, double[] means, double[][] cov, SplittableRandom random) {
+            this.n = n;
+            this.means = means;
+            this.cov = cov;
+            this.random = random;
+        }
+
+        @Override
+        public PortfolioMetrics call() {
+            double[] weights = new double[n];
+            double sum = 0.0;
+
+            for (int i = 0; i < n; i++) {
+                weights[i] = random.nextDouble();
+                sum += weights[i];
+            }
+
+            for (int i = 0; i < n; i++)
+                weights[i] /= sum;
+
+            double portReturn = 0.0;
+            for (int i = 0; i < n; i++) {
+                portReturn += weights[i] * means[i];
+            }
+
+            double portVar = 0.0;
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    portVar += weights[i] * weights[j] * cov[i][j];
+                }
+            }
+
+            double portVol = Math.sqrt(portVar);
+
+            double sharpe = (portVol == 0) ? 0 : (portReturn - RISK_FREE_RATE) / portVol;
+
+            return new PortfolioMetrics(weights, sharpe, portReturn, portVol);
+        }
+    }
+}
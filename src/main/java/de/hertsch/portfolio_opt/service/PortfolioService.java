@@ -1,7 +1,8 @@
 package de.hertsch.portfolio_opt.service;
 
 import java.util.List;
-import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.springframework.stereotype.Service;
 
@@ -24,25 +25,33 @@ public class PortfolioService {
 
     public OptimizationResult performOptimization(List<String> tickers) {
 
-        try (StructuredTaskScope<PriceSeries, Void> scope = StructuredTaskScope.open()) {
-
-            List<StructuredTaskScope.Subtask<PriceSeries>> tasks = tickers.stream()
-                    .map(ticker -> scope.fork(() -> marketDataProvider.fetchHistory(ticker)))
-                    .toList();
-
-            scope.join();
-
-            List<PriceSeries> allData = tasks.stream()
-                    .map(StructuredTaskScope.Subtask::get)
-                    .toList();
+        // Rate limiting and concurrency bounds are enforced by the provider's fetch scheduler
+        List<CompletableFuture<PriceSeries>> fetches = tickers.stream()
+                .map(marketDataProvider::fetchHistoryAsync)
+                .toList();
+
+        // Fail fast on the first broken ticker instead of waiting for the whole basket
+        CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+        fetches.forEach(fetch -> fetch.exceptionally(error -> {
+            firstFailure.completeExceptionally(error);
+            return null;
+        }));
+
+        try {
+            CompletableFuture.anyOf(
+                    CompletableFuture.allOf(fetches.toArray(CompletableFuture[]::new)),
+                    firstFailure).join();
+        } catch (CompletionException e) {
+            // Drops queued requests and pending retries of the remaining tickers
+            fetches.forEach(fetch -> fetch.cancel(true));
+            Throwable cause = e.getCause() instanceof CompletionException nested ? nested.getCause() : e.getCause();
+            throw new RuntimeException("Market data fetch failed", cause);
+        }
 
-            return optimizer.optimize(allData);
+        List<PriceSeries> allData = fetches.stream()
+                .map(CompletableFuture::join)
+                .toList();
 
-        } catch (StructuredTaskScope.FailedException e) {
-            throw new RuntimeException("Market data fetch failed", e);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Portfolio optimization interrupted", e);
-        }
+        return optimizer.optimize(allData);
     }
 }
@@ -0,0 +1,239 @@
+package de.hertsch.portfolio_opt.service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import de.hertsch.portfolio_opt.configuration.SimulationWireFormat;
+import de.hertsch.portfolio_opt.model.ShardDescriptor;
+import de.hertsch.portfolio_opt.model.ShardResult;
+import de.hertsch.portfolio_opt.model.SimulationProblem;
+
+/**
+ * Verteilt die Monte-Carlo-Simulation als geseedete Shards auf Worker-Instanzen.
+ * Kovarianzmatrix und erwartete Renditen gehen pro Job genau einmal an jeden Worker,
+ * Shards referenzieren sie danach nur noch über die Job-ID (Seed + Anzahl).
+ * Jeder Worker liefert nur sein lokales Optimum plus Frontier-Bins zurück.
+ * Ohne konfigurierte Worker läuft die Simulation lokal in dieser JVM.
+ */
+@Service
+public class SimulationCoordinator implements DisposableBean {
+
+    public static final String JOBS_PATH = "/api/v1/simulation/jobs";
+
+    private static final Logger LOG = LoggerFactory.getLogger(SimulationCoordinator.class);
+    private static final long SEED_STRIDE = 0x9E3779B97F4A7C15L;
+
+    private final HttpClient httpClient;
+    private final MonteCarloSimulator simulator;
+    private final List<URI> workers;
+    private final int simulations;
+    private final int shardsPerWorker;
+    private final int frontierBins;
+    private final Duration shardTimeout;
+    // Local fallback blocks for the whole shard, keep it off the common pool used by the fetch scheduler
+    private final ExecutorService localExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SimulationCoordinator(
+            HttpClient httpClient,
+            MonteCarloSimulator simulator,
+            @Value("${portfolio.simulation.workers:}") List<String> workers,
+            @Value("${portfolio.simulation.count:250000}") int simulations,
+            @Value("${portfolio.simulation.shards-per-worker:1}") int shardsPerWorker,
+            @Value("${portfolio.simulation.frontier-bins:50}") int frontierBins,
+            @Value("${portfolio.simulation.shard-timeout:PT60S}") Duration shardTimeout) {
+        this.httpClient = httpClient;
+        this.simulator = simulator;
+        this.workers = workers.stream()
+                .filter(worker -> !worker.isBlank())
+                .map(worker -> URI.create(worker.strip()))
+                .toList();
+        this.simulations = simulations;
+        this.shardsPerWorker = Math.max(1, shardsPerWorker);
+        this.frontierBins = frontierBins;
+        this.shardTimeout = shardTimeout;
+    }
+
+    public ShardResult run(double[] expectedReturns, double[][] covMatrix) {
+        SimulationProblem problem = new SimulationProblem(expectedReturns, covMatrix);
+
+        if (workers.isEmpty()) {
+            return simulator.simulate(
+                    new ShardDescriptor(ThreadLocalRandom.current().nextLong(), simulations, frontierBins)
+                            .bind(problem));
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), problem);
+        List<ShardDescriptor> shards = split(workers.size() * shardsPerWorker);
+
+        List<CompletableFuture<ShardResult>> results = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            results.add(dispatch(job, shards.get(i), i % workers.size(), 0, false));
+        }
+
+        try {
+            return results.stream()
+                    .map(CompletableFuture::join)
+                    .reduce(ShardResult::merge)
+                    .orElseThrow();
+        } catch (CompletionException e) {
+            throw new RuntimeException("Distributed simulation failed", e.getCause());
+        } finally {
+            job.release();
+        }
+    }
+
+    private List<ShardDescriptor> split(int shardCount) {
+        long baseSeed = ThreadLocalRandom.current().nextLong();
+        int perShard = simulations / shardCount;
+        int remainder = simulations % shardCount;
+
+        List<ShardDescriptor> shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            int count = perShard + (i < remainder ? 1 : 0);
+            shards.add(new ShardDescriptor(baseSeed + i * SEED_STRIDE, count, frontierBins));
+        }
+        return shards;
+    }
+
+    /*
+     * Sends the shard descriptor to a worker, uploading the problem first if that worker
+     * has not seen this job yet. A worker that lost the job (404) gets one re-upload and retry,
+     * a rejected job (other 4xx, e.g. above the worker limits) fails the run. On other failures the identical (same seed) shard is re-issued to the next worker;
+     * after every worker failed it runs locally.
+     */
+    private CompletableFuture<ShardResult> dispatch(
+            Job job, ShardDescriptor shard, int worker, int attempt, boolean reuploaded) {
+        if (attempt >= workers.size()) {
+            LOG.warn("All workers failed for shard, running locally");
+            return CompletableFuture.supplyAsync(() -> simulator.simulate(shard.bind(job.problem)), localExecutor);
+        }
+
+        URI base = workers.get((worker + attempt) % workers.size());
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(job.uri(base, "/shards"))
+                .timeout(shardTimeout)
+                .header("Content-Type", SimulationWireFormat.MEDIA_TYPE)
+                .header("Accept", SimulationWireFormat.MEDIA_TYPE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(SimulationWireFormat.encodeShard(shard)))
+                .build();
+
+        return job.upload(base)
+                .thenCompose(ignored -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()))
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new WorkerStatusException(base, response.statusCode());
+                    }
+                    return SimulationWireFormat.decodeResult(response.body());
+                })
+                .handle((result, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(result);
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    int status = cause instanceof WorkerStatusException e ? e.statusCode : 0;
+                    if (status == 404 && !reuploaded) {
+                        // Worker lost the job (restart, eviction), upload again and retry it there once
+                        job.forget(base);
+                        return dispatch(job, shard, worker, attempt, true);
+                    }
+                    if (isRejection(status)) {
+                        // Workers share their limits, re-issuing would only hide the misconfiguration
+                        return CompletableFuture.<ShardResult>failedFuture(new IllegalStateException(
+                                "Worker " + base + " rejected the job with " + status + ", check portfolio.simulation.count"
+                                        + " and shards-per-worker against portfolio.simulation.worker.max-*",
+                                cause));
+                    }
+                    LOG.warn("Shard failed on {}, re-issuing", base, error);
+                    return dispatch(job, shard, worker, attempt + 1, false);
+                })
+                .thenCompose(future -> future);
+    }
+
+    private static boolean isRejection(int statusCode) {
+        return statusCode >= 400 && statusCode < 500 && statusCode != 404 && statusCode != 408 && statusCode != 429;
+    }
+
+    @Override
+    public void destroy() {
+        localExecutor.close();
+    }
+
+    /*
+     * One distributed run. Tracks which workers already hold the problem.
+     */
+    private class Job {
+        private final String id;
+        private final SimulationProblem problem;
+        private final byte[] problemPayload;
+        private final Map<URI, CompletableFuture<Void>> uploads = new ConcurrentHashMap<>();
+
+        Job(String id, SimulationProblem problem) {
+            this.id = id;
+            this.problem = problem;
+            this.problemPayload = SimulationWireFormat.encodeProblem(problem);
+        }
+
+        URI uri(URI base, String suffix) {
+            return base.resolve(JOBS_PATH + "/" + id + suffix);
+        }
+
+        CompletableFuture<Void> upload(URI base) {
+            return uploads.computeIfAbsent(base, worker -> {
+                HttpRequest request = HttpRequest.newBuilder()
+                        .uri(uri(worker, ""))
+                        .timeout(shardTimeout)
+                        .header("Content-Type", SimulationWireFormat.MEDIA_TYPE)
+                        .PUT(HttpRequest.BodyPublishers.ofByteArray(problemPayload))
+                        .build();
+
+                return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .thenAccept(response -> {
+                            if (response.statusCode() / 100 != 2) {
+                                throw new WorkerStatusException(worker, response.statusCode());
+                            }
+                        });
+            });
+        }
+
+        void forget(URI base) {
+            uploads.remove(base);
+        }
+
+        // Best effort and only where the upload succeeded, workers evict abandoned jobs on their own
+        void release() {
+            uploads.forEach((worker, upload) -> upload.thenRun(() -> httpClient.sendAsync(
+                    HttpRequest.newBuilder().uri(uri(worker, "")).timeout(shardTimeout).DELETE().build(),
+                    HttpResponse.BodyHandlers.discarding())));
+        }
+    }
+
+    private static class WorkerStatusException extends IllegalStateException {
+        private final int statusCode;
+
+        WorkerStatusException(URI worker, int statusCode) {
+            super("Worker " + worker + " returned " + statusCode);
+            this.statusCode = statusCode;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package de.hertsch.portfolio_opt.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import de.hertsch.portfolio_opt.model.SimulationProblem;
+
+/*
+ * Worker-side cache of uploaded problems, keyed by the coordinator's job id.
+ * Bounded so abandoned jobs (coordinator crashed before DELETE) cannot pile up.
+ */
+@Component
+@ConditionalOnProperty(name = "portfolio.simulation.worker-enabled", havingValue = "true")
+public class SimulationJobStore {
+
+    private final Map<String, SimulationProblem> jobs;
+
+    public SimulationJobStore(@Value("${portfolio.simulation.worker.max-jobs:16}") int maxJobs) {
+        this.jobs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SimulationProblem> eldest) {
+                return size() > maxJobs;
+            }
+        };
+    }
+
+    public synchronized void put(String jobId, SimulationProblem problem) {
+        jobs.put(jobId, problem);
+    }
+
+    public synchronized Optional<SimulationProblem> get(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public synchronized void remove(String jobId) {
+        jobs.remove(jobId);
+    }
+}
@@ -0,0 +1,255 @@
+package de.hertsch.portfolio_opt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import de.hertsch.portfolio_opt.configuration.HttpFetchScheduler;
+
+public class HttpFetchSchedulerTest {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should decode gzip-encoded bodies")
+    void shouldDecodeGzipBody() throws IOException {
+        handle("/gzip", exchange -> {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write("[{\"adjClose\":145.0}]".getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            respond(exchange, 200, compressed.toByteArray());
+        });
+        HttpFetchScheduler scheduler = newScheduler(4, 1_000.0, 10, Duration.ofMillis(10));
+
+        HttpResponse<String> response = scheduler.submit(
+                scheduler.newRequest(uri("/gzip")).GET().build(),
+                HttpFetchScheduler.ofDecodedString()).join();
+
+        assertEquals(200, response.statusCode());
+        assertEquals("[{\"adjClose\":145.0}]", response.body());
+    }
+
+    @Test
+    @DisplayName("Should never exceed the configured number of in-flight requests")
+    void shouldCapConcurrentRequests() {
+        handle("/slow", exchange -> {
+            int current = inFlight.incrementAndGet();
+            peakInFlight.accumulateAndGet(current, Math::max);
+            sleep(100);
+            inFlight.decrementAndGet();
+            respond(exchange, 200, "ok".getBytes(StandardCharsets.UTF_8));
+        });
+        HttpFetchScheduler scheduler = newScheduler(3, 1_000.0, 20, Duration.ofMillis(10));
+
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            responses.add(scheduler.submit(
+                    scheduler.newRequest(uri("/slow")).GET().build(),
+                    HttpFetchScheduler.ofDecodedString()));
+        }
+        responses.forEach(CompletableFuture::join);
+
+        assertEquals(12, calls.get());
+        assertEquals(3, peakInFlight.get());
+    }
+
+    @Test
+    @DisplayName("Should pace requests through the token bucket")
+    void shouldPaceRequests() {
+        handle("/paced", exchange -> respond(exchange, 200, new byte[0]));
+        HttpFetchScheduler scheduler = newScheduler(10, 10.0, 1, Duration.ofMillis(10));
+
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            responses.add(scheduler.submit(
+                    scheduler.newRequest(uri("/paced")).GET().build(),
+                    HttpFetchScheduler.ofDecodedString()));
+        }
+        responses.forEach(CompletableFuture::join);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // One token up front, then one every 100ms
+        assertEquals(5, calls.get());
+        assertTrue(elapsedMillis >= 380, "Requests were not paced: " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("Should honour Retry-After on 429")
+    void shouldHonourRetryAfter() {
+        handle("/throttled", exchange -> {
+            if (calls.get() == 1) {
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                respond(exchange, 429, new byte[0]);
+            } else {
+                respond(exchange, 200, "ok".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        HttpFetchScheduler scheduler = newScheduler(4, 1_000.0, 10, Duration.ofSeconds(2));
+
+        long start = System.nanoTime();
+        HttpResponse<String> response = scheduler.submit(
+                scheduler.newRequest(uri("/throttled")).GET().build(),
+                HttpFetchScheduler.ofDecodedString()).join();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(200, response.statusCode());
+        assertEquals(2, calls.get());
+        assertTrue(elapsedMillis >= 950, "Retry-After was ignored: " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("Cancelled requests waiting for a slot are never sent")
+    void shouldDropCancelledQueuedRequests() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        handle("/blocking", exchange -> {
+            awaitQuietly(release);
+            respond(exchange, 200, new byte[0]);
+        });
+        HttpFetchScheduler scheduler = newScheduler(1, 1_000.0, 10, Duration.ofMillis(10));
+
+        CompletableFuture<HttpResponse<String>> first = scheduler.submit(
+                scheduler.newRequest(uri("/blocking")).GET().build(), HttpFetchScheduler.ofDecodedString());
+        while (calls.get() == 0) {
+            Thread.sleep(5);
+        }
+
+        // The only slot is taken, so this request waits in the queue
+        CompletableFuture<HttpResponse<String>> queued = scheduler.submit(
+                scheduler.newRequest(uri("/blocking")).GET().build(), HttpFetchScheduler.ofDecodedString());
+        Thread.sleep(50);
+        queued.cancel(true);
+        release.countDown();
+
+        assertEquals(200, first.join().statusCode());
+        Thread.sleep(100);
+
+        assertTrue(queued.isCancelled());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Cancelled requests give their rate tokens back")
+    void shouldRefundTokensOfCancelledRequests() {
+        handle("/fast", exchange -> respond(exchange, 200, new byte[0]));
+        HttpFetchScheduler scheduler = newScheduler(4, 2.0, 1, Duration.ofMillis(10));
+
+        scheduler.submit(scheduler.newRequest(uri("/fast")).GET().build(), HttpFetchScheduler.ofDecodedString())
+                .join();
+
+        // Without refunds these would push the next free token about 5s into the future
+        List<CompletableFuture<HttpResponse<String>>> dropped = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            dropped.add(scheduler.submit(
+                    scheduler.newRequest(uri("/fast")).GET().build(),
+                    HttpFetchScheduler.ofDecodedString()));
+        }
+        dropped.forEach(fetch -> fetch.cancel(true));
+
+        long start = System.nanoTime();
+        scheduler.submit(scheduler.newRequest(uri("/fast")).GET().build(), HttpFetchScheduler.ofDecodedString())
+                .join();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(2, calls.get());
+        assertTrue(elapsedMillis < 2_000, "Cancelled requests kept their tokens: " + elapsedMillis + "ms");
+    }
+
+    private HttpFetchScheduler newScheduler(
+            int maxConcurrent, double permitsPerSecond, int burst, Duration maxBackoff) {
+        return new HttpFetchScheduler(
+                httpClient,
+                maxConcurrent,
+                permitsPerSecond,
+                burst,
+                3,
+                Duration.ofMillis(1),
+                maxBackoff,
+                Duration.ofSeconds(5));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + path);
+    }
+
+    private void handle(String path, HttpHandler handler) {
+        server.createContext(path, exchange -> {
+            calls.incrementAndGet();
+            handler.handle(exchange);
+        });
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            exchange.getResponseBody().write(body);
+        }
+        exchange.close();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
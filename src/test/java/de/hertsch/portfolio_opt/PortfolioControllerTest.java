@@ -0,0 +1,122 @@
+package de.hertsch.portfolio_opt;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import de.hertsch.portfolio_opt.configuration.PortfolioWireFormat;
+import de.hertsch.portfolio_opt.model.EfficientFrontier;
+import de.hertsch.portfolio_opt.model.OptimizationRequest;
+import de.hertsch.portfolio_opt.model.OptimizationResult;
+import de.hertsch.portfolio_opt.model.PortfolioBinaryResponse;
+import de.hertsch.portfolio_opt.service.PortfolioService;
+
+// Full context, so the converter goes through the same registration as in production (WebConfig)
+@SpringBootTest(properties = {
+        "portfolio.provider.tiingo.key=test",
+        "portfolio.provider.tiingo.base-url=http://localhost",
+        "portfolio.provider.tiingo.history-start=2020-01-01" })
+public class PortfolioControllerTest {
+
+    private static final String OPTIMIZE = "/api/v1/portfolio/optimize";
+    private static final List<String> TICKERS = List.of("NVDA", "MSFT");
+    private static final String JSON_REQUEST = "{\"tickers\":[\"NVDA\",\"MSFT\"]}";
+    private static final OptimizationResult RESULT = new OptimizationResult(
+            new double[] { 0.123456789012345, 0.876543210987655 },
+            1.42, 0.18, 0.21,
+            new EfficientFrontier(new double[] { 0.1, Double.NaN }, new double[] { 0.05, Double.NaN }));
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @MockitoBean
+    private PortfolioService portfolioService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        when(portfolioService.performOptimization(TICKERS)).thenReturn(RESULT);
+    }
+
+    @Test
+    @DisplayName("Should decode binary requests and answer in binary when asked for")
+    void shouldNegotiateBinary() throws Exception {
+        byte[] body = mockMvc.perform(post(OPTIMIZE)
+                .contentType(PortfolioWireFormat.MEDIA_TYPE)
+                .accept(PortfolioWireFormat.MEDIA_TYPE)
+                .content(PortfolioWireFormat.encodeRequest(new OptimizationRequest(TICKERS))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PortfolioWireFormat.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        PortfolioBinaryResponse response = PortfolioWireFormat.decodeResponse(body);
+        assertEquals(TICKERS, response.tickers());
+        assertArrayEquals(RESULT.weights(), response.weights());
+        assertArrayEquals(new double[] { 0.05 }, response.frontier().expectedReturn());
+    }
+
+    @Test
+    @DisplayName("Should keep answering JSON for Accept */* and without Accept header")
+    void shouldDefaultToJson() throws Exception {
+        expectDefaultJson(optimizeJson(OPTIMIZE, MediaType.ALL));
+        expectDefaultJson(optimizeJson(OPTIMIZE, null));
+    }
+
+    @Test
+    @DisplayName("Should add the frontier to JSON only on request")
+    void shouldIncludeFrontierOnRequest() throws Exception {
+        optimizeJson(OPTIMIZE + "?frontier=true", MediaType.APPLICATION_JSON)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.frontier.expectedReturn.length()").value(1))
+                .andExpect(jsonPath("$.frontier.expectedReturn[0]").value(0.05));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed binary requests with 400")
+    void shouldRejectMalformedBinaryRequest() throws Exception {
+        mockMvc.perform(post(OPTIMIZE)
+                .contentType(PortfolioWireFormat.MEDIA_TYPE)
+                .accept(PortfolioWireFormat.MEDIA_TYPE)
+                .content(new byte[] { 1, 2, 3 }))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions optimizeJson(String uri, MediaType accept) throws Exception {
+        var request = post(uri)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JSON_REQUEST);
+        if (accept != null) {
+            request.accept(accept);
+        }
+        return mockMvc.perform(request);
+    }
+
+    private static void expectDefaultJson(ResultActions result) throws Exception {
+        result.andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.optimalWeights.NVDA").value(12.35))
+                .andExpect(jsonPath("$.calculationTime").exists())
+                .andExpect(jsonPath("$.weights").doesNotExist())
+                .andExpect(jsonPath("$.frontier").doesNotExist());
+    }
+}
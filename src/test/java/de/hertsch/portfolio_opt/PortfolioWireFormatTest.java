@@ -0,0 +1,152 @@
+package de.hertsch.portfolio_opt;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import de.hertsch.portfolio_opt.configuration.PortfolioWireFormat;
+import de.hertsch.portfolio_opt.model.EfficientFrontier;
+import de.hertsch.portfolio_opt.model.OptimizationRequest;
+import de.hertsch.portfolio_opt.model.OptimizationResult;
+import de.hertsch.portfolio_opt.model.PortfolioBinaryResponse;
+import de.hertsch.portfolio_opt.model.PortfolioResponse;
+import tools.jackson.databind.ObjectMapper;
+
+public class PortfolioWireFormatTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Request survives round trip including non-ASCII tickers")
+    void shouldRoundTripRequest() {
+        OptimizationRequest request = new OptimizationRequest(List.of("NVDA", "MSFT", "SAP.DE", "NESN.SWÜ"));
+
+        OptimizationRequest decoded = PortfolioWireFormat.decodeRequest(PortfolioWireFormat.encodeRequest(request));
+
+        assertEquals(request.tickers(), decoded.tickers());
+    }
+
+    @Test
+    @DisplayName("Response keeps full-precision weights and numeric timing")
+    void shouldRoundTripResponse() {
+        OptimizationResult result = new OptimizationResult(
+                new double[] { 0.123456789012345, 0.876543210987655 },
+                1.42, 0.18, 0.21,
+                new EfficientFrontier(new double[] { 0.1, Double.NaN, 0.3 }, new double[] { 0.05, Double.NaN, 0.2 }));
+        PortfolioBinaryResponse response = PortfolioBinaryResponse.of(List.of("NVDA", "MSFT"), result, 12_345_678L);
+
+        PortfolioBinaryResponse decoded = PortfolioWireFormat.decodeResponse(PortfolioWireFormat.encodeResponse(response));
+
+        assertEquals(List.of("NVDA", "MSFT"), decoded.tickers());
+        assertArrayEquals(result.weights(), decoded.weights());
+        assertEquals(12_345_678L, decoded.calculationTimeNanos());
+        assertArrayEquals(new double[] { 0.05, 0.2 }, decoded.frontier().expectedReturn());
+    }
+
+    @Test
+    @DisplayName("Should reject truncated payloads")
+    void shouldRejectTruncatedPayload() {
+        byte[] payload = PortfolioWireFormat.encodeRequest(new OptimizationRequest(List.of("AAPL")));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> PortfolioWireFormat.decodeRequest(Arrays.copyOf(payload, payload.length - 1)));
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Benchmark: binary vs. JSON, with and without frontier")
+    void benchmarkAgainstJackson() {
+        int iterations = 20_000;
+
+        for (int assets : new int[] { 10, 300 }) {
+            List<String> tickers = tickers(assets);
+            OptimizationResult result = largeResult(assets, 50);
+            PortfolioResponse json = PortfolioResponse.of(tickers, result, 42_000_000L, false);
+            PortfolioResponse jsonWithFrontier = PortfolioResponse.of(tickers, result, 42_000_000L, true);
+            PortfolioBinaryResponse binary = PortfolioBinaryResponse.of(tickers, result, 42_000_000L);
+
+            for (int i = 0; i < iterations; i++) {
+                jsonRoundTrip(json);
+                jsonRoundTrip(jsonWithFrontier);
+                binaryRoundTrip(binary);
+            }
+
+            long start = System.nanoTime();
+            int jsonBytes = 0;
+            for (int i = 0; i < iterations; i++) {
+                jsonBytes = jsonRoundTrip(json);
+            }
+            long jsonNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int frontierBytes = 0;
+            for (int i = 0; i < iterations; i++) {
+                frontierBytes = jsonRoundTrip(jsonWithFrontier);
+            }
+            long frontierNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int binaryBytes = 0;
+            for (int i = 0; i < iterations; i++) {
+                binaryBytes = binaryRoundTrip(binary);
+            }
+            long binaryNanos = System.nanoTime() - start;
+
+            System.out.printf("%d assets, 50 frontier bins%n", assets);
+            System.out.printf("  JSON (default):        %6d bytes, %7.1f us/round trip%n",
+                    jsonBytes, jsonNanos / 1_000.0 / iterations);
+            System.out.printf("  JSON (?frontier=true): %6d bytes, %7.1f us/round trip%n",
+                    frontierBytes, frontierNanos / 1_000.0 / iterations);
+            System.out.printf("  Binary:                %6d bytes, %7.1f us/round trip%n",
+                    binaryBytes, binaryNanos / 1_000.0 / iterations);
+
+            // Not asserting on size: full-precision doubles make large portfolios about as big as JSON
+            assertTrue(binaryNanos < frontierNanos);
+        }
+    }
+
+    private int jsonRoundTrip(PortfolioResponse response) {
+        byte[] json = objectMapper.writeValueAsBytes(response);
+        objectMapper.readValue(json, PortfolioResponse.class);
+        return json.length;
+    }
+
+    private static int binaryRoundTrip(PortfolioBinaryResponse response) {
+        byte[] binary = PortfolioWireFormat.encodeResponse(response);
+        PortfolioWireFormat.decodeResponse(binary);
+        return binary.length;
+    }
+
+    private static List<String> tickers(int assets) {
+        List<String> tickers = new ArrayList<>(assets);
+        for (int i = 0; i < assets; i++) {
+            tickers.add("TCK" + i);
+        }
+        return tickers;
+    }
+
+    private static OptimizationResult largeResult(int assets, int bins) {
+        Random random = new Random(42);
+        double[] weights = new double[assets];
+        for (int i = 0; i < assets; i++) {
+            weights[i] = random.nextDouble() / assets;
+        }
+        double[] binVolatility = new double[bins];
+        double[] binReturn = new double[bins];
+        for (int i = 0; i < bins; i++) {
+            binVolatility[i] = random.nextDouble();
+            binReturn[i] = random.nextDouble();
+        }
+        return new OptimizationResult(weights, 1.3, 0.15, 0.2, new EfficientFrontier(binVolatility, binReturn));
+    }
+}
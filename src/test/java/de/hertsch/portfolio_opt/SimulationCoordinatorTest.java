@@ -0,0 +1,201 @@
+package de.hertsch.portfolio_opt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import de.hertsch.portfolio_opt.configuration.SimulationWireFormat;
+import de.hertsch.portfolio_opt.model.ShardDescriptor;
+import de.hertsch.portfolio_opt.model.ShardResult;
+import de.hertsch.portfolio_opt.model.SimulationProblem;
+import de.hertsch.portfolio_opt.model.SimulationShard;
+import de.hertsch.portfolio_opt.service.MonteCarloSimulator;
+import de.hertsch.portfolio_opt.service.SimulationCoordinator;
+
+public class SimulationCoordinatorTest {
+
+    private final MonteCarloSimulator simulator = new MonteCarloSimulator();
+    private final AtomicInteger healthyUploads = new AtomicInteger();
+    private final AtomicInteger healthyShards = new AtomicInteger();
+    private final AtomicInteger brokenCalls = new AtomicInteger();
+    private final Map<String, SimulationProblem> healthyJobs = new ConcurrentHashMap<>();
+    private final AtomicBoolean restartBeforeNextShard = new AtomicBoolean();
+    private volatile int maxShardSimulations = Integer.MAX_VALUE;
+
+    private HttpServer healthyWorker;
+    private HttpServer brokenWorker;
+
+    @AfterEach
+    void tearDown() {
+        if (healthyWorker != null) {
+            healthyWorker.stop(0);
+        }
+        if (brokenWorker != null) {
+            brokenWorker.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("Should upload the problem once per worker and re-issue shards of a failing worker")
+    void shouldReissueShardsOfFailingWorker() throws IOException {
+        healthyWorker = startWorker(false);
+        brokenWorker = startWorker(true);
+
+        SimulationCoordinator coordinator = new SimulationCoordinator(
+                HttpClient.newHttpClient(),
+                simulator,
+                List.of(url(healthyWorker), url(brokenWorker)),
+                2_000,
+                2,
+                10,
+                Duration.ofSeconds(10));
+
+        double[] means = { 0.12, 0.08, 0.15 };
+        double[][] cov = {
+                { 0.04, 0.01, 0.00 },
+                { 0.01, 0.02, 0.01 },
+                { 0.00, 0.01, 0.09 } };
+
+        ShardResult result = coordinator.run(means, cov);
+
+        // The broken worker only ever sees the upload, its shards move to the healthy one
+        assertEquals(1, brokenCalls.get());
+        assertEquals(1, healthyUploads.get());
+        assertEquals(4, healthyShards.get());
+        assertEquals(3, result.best().weights().length);
+        assertTrue(result.best().sharpeRatio() > 0);
+        assertEquals(10, result.frontier().volatility().length);
+    }
+
+    @Test
+    @DisplayName("Should re-upload the problem to a worker that lost the job and retry there")
+    void shouldReuploadAfterWorkerRestart() throws IOException {
+        healthyWorker = startWorker(false);
+        restartBeforeNextShard.set(true);
+
+        SimulationCoordinator coordinator = new SimulationCoordinator(
+                HttpClient.newHttpClient(),
+                simulator,
+                List.of(url(healthyWorker)),
+                1_000,
+                1,
+                10,
+                Duration.ofSeconds(10));
+
+        ShardResult result = coordinator.run(
+                new double[] { 0.1, 0.2 },
+                new double[][] { { 0.04, 0.0 }, { 0.0, 0.09 } });
+
+        // First shard call hits the restarted worker (404), the retry follows a fresh upload
+        assertEquals(2, healthyUploads.get());
+        assertEquals(2, healthyShards.get());
+        assertEquals(2, result.best().weights().length);
+    }
+
+    @Test
+    @DisplayName("Should fail the run instead of re-issuing shards a worker rejects")
+    void shouldNotReissueRejectedShards() throws IOException {
+        healthyWorker = startWorker(false);
+        maxShardSimulations = 100;
+
+        SimulationCoordinator coordinator = new SimulationCoordinator(
+                HttpClient.newHttpClient(),
+                simulator,
+                List.of(url(healthyWorker)),
+                1_000,
+                1,
+                10,
+                Duration.ofSeconds(10));
+
+        assertThrows(RuntimeException.class, () -> coordinator.run(
+                new double[] { 0.1, 0.2 },
+                new double[][] { { 0.04, 0.0 }, { 0.0, 0.09 } }));
+        assertEquals(1, healthyShards.get());
+    }
+
+    @Test
+    @DisplayName("Same seed yields the same shard result")
+    void shouldBeDeterministicPerSeed() {
+        SimulationShard shard = new SimulationShard(
+                new double[] { 0.1, 0.2 },
+                new double[][] { { 0.04, 0.0 }, { 0.0, 0.09 } },
+                7L, 500, 5);
+
+        ShardResult first = simulator.simulate(shard);
+        ShardResult second = simulator.simulate(shard);
+
+        assertEquals(first.best().sharpeRatio(), second.best().sharpeRatio());
+    }
+
+    private HttpServer startWorker(boolean broken) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(SimulationCoordinator.JOBS_PATH, exchange -> {
+            if (broken) {
+                brokenCalls.incrementAndGet();
+                exchange.sendResponseHeaders(500, -1);
+                exchange.close();
+                return;
+            }
+
+            String[] path = exchange.getRequestURI().getPath()
+                    .substring(SimulationCoordinator.JOBS_PATH.length() + 1)
+                    .split("/");
+            String jobId = path[0];
+            byte[] payload = exchange.getRequestBody().readAllBytes();
+
+            switch (exchange.getRequestMethod()) {
+                case "PUT" -> {
+                    healthyUploads.incrementAndGet();
+                    healthyJobs.put(jobId, SimulationWireFormat.decodeProblem(payload));
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                case "POST" -> {
+                    healthyShards.incrementAndGet();
+                    if (restartBeforeNextShard.compareAndSet(true, false)) {
+                        healthyJobs.clear();
+                    }
+                    SimulationProblem problem = healthyJobs.get(jobId);
+                    if (problem == null) {
+                        exchange.sendResponseHeaders(404, -1);
+                        break;
+                    }
+                    ShardDescriptor shard = SimulationWireFormat.decodeShard(payload);
+                    if (shard.simulations() > maxShardSimulations) {
+                        exchange.sendResponseHeaders(400, -1);
+                        break;
+                    }
+                    byte[] body = SimulationWireFormat.encodeResult(simulator.simulate(shard.bind(problem)));
+                    exchange.sendResponseHeaders(200, body.length);
+                    exchange.getResponseBody().write(body);
+                }
+                default -> {
+                    healthyJobs.remove(jobId);
+                    exchange.sendResponseHeaders(204, -1);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+        return server;
+    }
+
+    private static String url(HttpServer server) {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+}
@@ -0,0 +1,78 @@
+package de.hertsch.portfolio_opt;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import de.hertsch.portfolio_opt.configuration.SimulationWireFormat;
+import de.hertsch.portfolio_opt.model.EfficientFrontier;
+import de.hertsch.portfolio_opt.model.PortfolioMetrics;
+import de.hertsch.portfolio_opt.model.ShardDescriptor;
+import de.hertsch.portfolio_opt.model.ShardResult;
+import de.hertsch.portfolio_opt.model.SimulationProblem;
+
+public class SimulationWireFormatTest {
+
+    @Test
+    @DisplayName("Problem survives round trip with symmetric covariance")
+    void shouldRoundTripProblem() {
+        double[] means = { 0.12, 0.08, 0.15 };
+        double[][] cov = {
+                { 0.04, 0.01, -0.02 },
+                { 0.01, 0.09, 0.03 },
+                { -0.02, 0.03, 0.16 } };
+
+        byte[] payload = SimulationWireFormat.encodeProblem(new SimulationProblem(means, cov));
+        SimulationProblem decoded = SimulationWireFormat.decodeProblem(payload);
+
+        // header + 3 means + upper triangle (6 values)
+        assertEquals(8 + 9 * Double.BYTES, payload.length);
+        assertArrayEquals(means, decoded.expectedReturns());
+        for (int i = 0; i < cov.length; i++) {
+            assertArrayEquals(cov[i], decoded.covMatrix()[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Shard descriptor carries only seed, count and bins")
+    void shouldRoundTripShardDescriptor() {
+        byte[] payload = SimulationWireFormat.encodeShard(new ShardDescriptor(42L, 1_000, 20));
+        ShardDescriptor decoded = SimulationWireFormat.decodeShard(payload);
+
+        assertEquals(20, payload.length);
+        assertEquals(new ShardDescriptor(42L, 1_000, 20), decoded);
+    }
+
+    @Test
+    @DisplayName("Result keeps full precision and empty frontier bins")
+    void shouldRoundTripResult() {
+        double[] weights = { 0.1234567890123, 0.8765432109877 };
+        double[] binVolatility = { 0.11, Double.NaN };
+        double[] binReturn = { 0.07, Double.NaN };
+        ShardResult result = new ShardResult(
+                new PortfolioMetrics(weights, 1.2345, 0.09, 0.12),
+                new EfficientFrontier(binVolatility, binReturn));
+
+        ShardResult decoded = SimulationWireFormat.decodeResult(SimulationWireFormat.encodeResult(result));
+
+        assertArrayEquals(weights, decoded.best().weights());
+        assertEquals(1.2345, decoded.best().sharpeRatio());
+        assertArrayEquals(binVolatility, decoded.frontier().volatility());
+        assertArrayEquals(binReturn, decoded.frontier().expectedReturn());
+    }
+
+    @Test
+    @DisplayName("Should reject truncated payloads")
+    void shouldRejectTruncatedPayload() {
+        SimulationProblem problem = new SimulationProblem(new double[] { 0.1 }, new double[][] { { 0.04 } });
+        byte[] payload = SimulationWireFormat.encodeProblem(problem);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> SimulationWireFormat.decodeProblem(Arrays.copyOf(payload, payload.length - 4)));
+    }
+}
@@ -0,0 +1,94 @@
+package de.hertsch.portfolio_opt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import de.hertsch.portfolio_opt.configuration.SimulationWireFormat;
+import de.hertsch.portfolio_opt.controller.SimulationWorkerController;
+import de.hertsch.portfolio_opt.model.ShardDescriptor;
+import de.hertsch.portfolio_opt.model.ShardResult;
+import de.hertsch.portfolio_opt.model.SimulationProblem;
+import de.hertsch.portfolio_opt.service.MonteCarloSimulator;
+import de.hertsch.portfolio_opt.service.SimulationCoordinator;
+import de.hertsch.portfolio_opt.service.SimulationJobStore;
+
+public class SimulationWorkerControllerTest {
+
+    private static final String JOB = SimulationCoordinator.JOBS_PATH + "/job-1";
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        SimulationWorkerController controller = new SimulationWorkerController(
+                new MonteCarloSimulator(),
+                new SimulationJobStore(4),
+                2,
+                1_000,
+                20);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    @DisplayName("Should run shards of an uploaded job")
+    void shouldSimulateUploadedJob() throws Exception {
+        upload(new SimulationProblem(new double[] { 0.1, 0.2 }, new double[][] { { 0.04, 0.0 }, { 0.0, 0.09 } }))
+                .andExpect(status().isNoContent());
+
+        byte[] body = shard(new ShardDescriptor(7L, 500, 10))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ShardResult result = SimulationWireFormat.decodeResult(body);
+        assertEquals(2, result.best().weights().length);
+    }
+
+    @Test
+    @DisplayName("Should reject shards above the configured limits with 400")
+    void shouldRejectOversizedShards() throws Exception {
+        upload(new SimulationProblem(new double[] { 0.1 }, new double[][] { { 0.04 } }));
+
+        shard(new ShardDescriptor(1L, Integer.MAX_VALUE, 10)).andExpect(status().isBadRequest());
+        shard(new ShardDescriptor(1L, 100, 1_000_000)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should reject too many assets and malformed payloads with 400")
+    void shouldRejectInvalidProblems() throws Exception {
+        double[][] cov = new double[3][3];
+        upload(new SimulationProblem(new double[3], cov)).andExpect(status().isBadRequest());
+
+        mockMvc.perform(put(JOB)
+                .contentType(SimulationWireFormat.MEDIA_TYPE)
+                .content(new byte[] { 1, 2, 3 }))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should answer 404 for unknown jobs so the coordinator re-uploads")
+    void shouldReturnNotFoundForUnknownJob() throws Exception {
+        shard(new ShardDescriptor(1L, 100, 10)).andExpect(status().isNotFound());
+    }
+
+    private ResultActions upload(SimulationProblem problem) throws Exception {
+        return mockMvc.perform(put(JOB)
+                .contentType(SimulationWireFormat.MEDIA_TYPE)
+                .content(SimulationWireFormat.encodeProblem(problem)));
+    }
+
+    private ResultActions shard(ShardDescriptor shard) throws Exception {
+        return mockMvc.perform(post(JOB + "/shards")
+                .contentType(SimulationWireFormat.MEDIA_TYPE)
+                .accept(SimulationWireFormat.MEDIA_TYPE)
+                .content(SimulationWireFormat.encodeShard(shard)));
+    }
+}
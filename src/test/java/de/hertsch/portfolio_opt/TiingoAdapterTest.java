@@ -5,11 +5,13 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.file.Files;
@@ -17,6 +19,8 @@ import java.nio.file.Path;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
@@ -27,6 +31,7 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
+import de.hertsch.portfolio_opt.configuration.HttpFetchScheduler;
 import de.hertsch.portfolio_opt.configuration.TiingoFinanceAdapter;
 import de.hertsch.portfolio_opt.model.PriceSeries;
 import tools.jackson.databind.ObjectMapper;
@@ -41,6 +46,9 @@ public class TiingoAdapterTest {
     @Mock
     private HttpResponse<String> mockResponse;
 
+    @Mock
+    private HttpResponse<String> throttledResponse;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @BeforeEach
@@ -48,7 +56,7 @@ public class TiingoAdapterTest {
         MockitoAnnotations.openMocks(this);
 
         adapter = new TiingoFinanceAdapter(
-                mockHttpClient,
+                newScheduler(mockHttpClient),
                 objectMapper,
                 "test-key",
                 "http://fake-url",
@@ -63,8 +71,8 @@ public class TiingoAdapterTest {
 
         when(mockResponse.statusCode()).thenReturn(200);
         when(mockResponse.body()).thenReturn(json);
-        when(mockHttpClient.<String>send(any(HttpRequest.class), Mockito.<HttpResponse.BodyHandler<String>>any()))
-                .thenReturn(mockResponse);
+        when(mockHttpClient.<String>sendAsync(any(HttpRequest.class), Mockito.<HttpResponse.BodyHandler<String>>any()))
+                .thenReturn(CompletableFuture.completedFuture(mockResponse));
 
         PriceSeries result = adapter.fetchHistory("AAPL");
 
@@ -78,7 +86,7 @@ public class TiingoAdapterTest {
         assertEquals(145.0, prices[0], 0.001, "First price most be price of 25th");
         assertEquals(152.5, prices[2], 0.001, "First price most be price of 27th");
 
-        verify(mockHttpClient).send(any(HttpRequest.class), any());
+        verify(mockHttpClient).sendAsync(any(HttpRequest.class), any());
     }
 
     @Test
@@ -86,14 +94,36 @@ public class TiingoAdapterTest {
     void shouldThrowExceptionOn4040() throws IOException, InterruptedException {
         when(mockResponse.statusCode()).thenReturn(404);
         when(mockResponse.body()).thenReturn("Not Found");
-        when(mockHttpClient.<String>send(any(HttpRequest.class), Mockito.<HttpResponse.BodyHandler<String>>any()))
-                .thenReturn(mockResponse);
+        when(mockHttpClient.<String>sendAsync(any(HttpRequest.class), Mockito.<HttpResponse.BodyHandler<String>>any()))
+                .thenReturn(CompletableFuture.completedFuture(mockResponse));
 
         Exception exception = assertThrows(RuntimeException.class, () -> {
             adapter.fetchHistory("INVALID");
         });
 
         assertTrue(exception.getMessage().contains("Tiingo Error 404"));
+        verify(mockHttpClient, times(1)).sendAsync(any(HttpRequest.class), any());
+    }
+
+    @Test
+    @DisplayName("Should retry throttled and failed upstream responses")
+    void shouldRetryOn429And5xx() throws IOException {
+        String json = Files.readString(Path.of("src/test/resources/tiingo-mock.json"));
+
+        when(throttledResponse.statusCode()).thenReturn(429, 503);
+        when(throttledResponse.headers()).thenReturn(HttpHeaders.of(
+                Map.of(), (name, value) -> true));
+        when(mockResponse.statusCode()).thenReturn(200);
+        when(mockResponse.body()).thenReturn(json);
+        when(mockHttpClient.<String>sendAsync(any(HttpRequest.class), Mockito.<HttpResponse.BodyHandler<String>>any()))
+                .thenReturn(CompletableFuture.completedFuture(throttledResponse))
+                .thenReturn(CompletableFuture.completedFuture(throttledResponse))
+                .thenReturn(CompletableFuture.completedFuture(mockResponse));
+
+        PriceSeries result = adapter.fetchHistory("AAPL");
+
+        assertEquals(3, result.closingPrices().length);
+        verify(mockHttpClient, times(3)).sendAsync(any(HttpRequest.class), any());
     }
 
     @Test
@@ -108,7 +138,7 @@ public class TiingoAdapterTest {
         ObjectMapper realMapper = new ObjectMapper();
 
         TiingoFinanceAdapter liveAdapter = new TiingoFinanceAdapter(
-                realClient,
+                newScheduler(realClient),
                 realMapper,
                 "#",
                 "https://api.tiingo.com/tiingo/daily",
@@ -122,4 +152,16 @@ public class TiingoAdapterTest {
 
         assertTrue(series.closingPrices().length > 0);
     }
+
+    private static HttpFetchScheduler newScheduler(HttpClient client) {
+        return new HttpFetchScheduler(
+                client,
+                4,
+                1_000.0,
+                10,
+                3,
+                Duration.ofMillis(1),
+                Duration.ofMillis(10),
+                Duration.ofSeconds(5));
+    }
 }